@@ -0,0 +1,53 @@
+package com.catshoulders.stroketext;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a few mutable ARGB bitmaps around so off-screen renders reconfigure
+ * an existing allocation instead of creating a new one per call.
+ */
+class BitmapPool {
+    private static final int MAX_SIZE = 4;
+
+    private final List<Bitmap> bitmaps = new ArrayList<>();
+
+    public synchronized Bitmap acquire(int width, int height) {
+        int byteCount = width * height * 4;
+        for (int i = 0; i < bitmaps.size(); i++) {
+            Bitmap bitmap = bitmaps.get(i);
+            if (bitmap.getAllocationByteCount() >= byteCount) {
+                bitmaps.remove(i);
+                bitmap.reconfigure(width, height, Bitmap.Config.ARGB_8888);
+                bitmap.eraseColor(0);
+                return bitmap;
+            }
+        }
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    public synchronized void release(Bitmap bitmap) {
+        if (bitmap.isRecycled()) {
+            return;
+        }
+        if (bitmaps.size() < MAX_SIZE) {
+            bitmaps.add(bitmap);
+            return;
+        }
+        // Keep the largest allocations, they can serve any smaller render
+        int smallest = 0;
+        for (int i = 1; i < bitmaps.size(); i++) {
+            if (bitmaps.get(i).getAllocationByteCount() < bitmaps.get(smallest).getAllocationByteCount()) {
+                smallest = i;
+            }
+        }
+        if (bitmaps.get(smallest).getAllocationByteCount() < bitmap.getAllocationByteCount()) {
+            bitmaps.remove(smallest).recycle();
+            bitmaps.add(bitmap);
+        } else {
+            bitmap.recycle();
+        }
+    }
+}
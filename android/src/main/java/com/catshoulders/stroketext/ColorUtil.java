@@ -0,0 +1,133 @@
+package com.catshoulders.stroketext;
+
+import android.graphics.Color;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.util.Locale;
+
+public class ColorUtil {
+    private static final String TAG = "ColorUtil";
+
+    private static final int CACHE_SIZE = 64;
+
+    // Same few colors get parsed over and over, so keep the results
+    private static final LruCache<String, Integer> colorCache = new LruCache<>(CACHE_SIZE);
+
+    /**
+     * Parses a CSS color string: #RGB, #RGBA, #RRGGBB, #RRGGBBAA, rgb(), rgba(), hsl(),
+     * hsla() or a name known to Color.parseColor. Falls back to black when invalid.
+     */
+    public static int parseColor(String color) {
+        if (color == null || color.isEmpty()) {
+            return Color.BLACK;
+        }
+        Integer cached = colorCache.get(color);
+        if (cached != null) {
+            return cached;
+        }
+
+        int parsed;
+        try {
+            parsed = parse(color.trim().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "Error parsing color: " + color, e);
+            parsed = Color.BLACK;
+        }
+        colorCache.put(color, parsed);
+        return parsed;
+    }
+
+    private static int parse(String color) {
+        if (color.startsWith("#")) {
+            return parseHex(color);
+        } else if (color.startsWith("rgb")) {
+            float[] parts = parseFunction(color);
+            return Color.argb(alpha(parts), clamp(parts[0]), clamp(parts[1]), clamp(parts[2]));
+        } else if (color.startsWith("hsl")) {
+            float[] parts = parseFunction(color);
+            return hslToColor(alpha(parts), parts[0], parts[1] / 100f, parts[2] / 100f);
+        } else if ("transparent".equals(color)) {
+            return Color.TRANSPARENT;
+        }
+        return Color.parseColor(color);
+    }
+
+    private static int parseHex(String color) {
+        String hex = color.substring(1);
+        if (hex.length() == 3 || hex.length() == 4) {
+            StringBuilder expanded = new StringBuilder(8);
+            for (int i = 0; i < hex.length(); i++) {
+                expanded.append(hex.charAt(i)).append(hex.charAt(i));
+            }
+            hex = expanded.toString();
+        }
+        if (hex.length() == 6) {
+            return (int) (0xFF000000L | Long.parseLong(hex, 16));
+        } else if (hex.length() == 8) {
+            // CSS order, alpha last
+            long rgba = Long.parseLong(hex, 16);
+            return (int) (((rgba & 0xFF) << 24) | (rgba >>> 8));
+        }
+        throw new IllegalArgumentException("Unknown color: " + color);
+    }
+
+    private static float[] parseFunction(String color) {
+        int start = color.indexOf('(');
+        int end = color.lastIndexOf(')');
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("Unknown color: " + color);
+        }
+        String[] parts = color.substring(start + 1, end).split(",");
+        if (parts.length < 3 || parts.length > 4) {
+            throw new IllegalArgumentException("Unknown color: " + color);
+        }
+        float[] values = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (part.endsWith("%")) {
+                part = part.substring(0, part.length() - 1);
+            } else if (part.endsWith("deg")) {
+                part = part.substring(0, part.length() - 3);
+            }
+            values[i] = Float.parseFloat(part.trim());
+        }
+        return values;
+    }
+
+    private static int alpha(float[] parts) {
+        return parts.length > 3 ? Math.round(Math.max(0, Math.min(1, parts[3])) * 255) : 255;
+    }
+
+    private static int clamp(float value) {
+        return Math.max(0, Math.min(255, Math.round(value)));
+    }
+
+    private static int hslToColor(int alpha, float hue, float saturation, float lightness) {
+        hue = ((hue % 360) + 360) % 360;
+        saturation = Math.max(0, Math.min(1, saturation));
+        lightness = Math.max(0, Math.min(1, lightness));
+
+        float chroma = (1 - Math.abs(2 * lightness - 1)) * saturation;
+        float x = chroma * (1 - Math.abs((hue / 60f) % 2 - 1));
+        float m = lightness - chroma / 2;
+
+        float r;
+        float g;
+        float b;
+        if (hue < 60) {
+            r = chroma; g = x; b = 0;
+        } else if (hue < 120) {
+            r = x; g = chroma; b = 0;
+        } else if (hue < 180) {
+            r = 0; g = chroma; b = x;
+        } else if (hue < 240) {
+            r = 0; g = x; b = chroma;
+        } else if (hue < 300) {
+            r = x; g = 0; b = chroma;
+        } else {
+            r = chroma; g = 0; b = x;
+        }
+        return Color.argb(alpha, clamp((r + m) * 255), clamp((g + m) * 255), clamp((b + m) * 255));
+    }
+}
@@ -0,0 +1,125 @@
+package com.catshoulders.stroketext;
+
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.LruCache;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FontFitUtil {
+
+    // Smallest font size (sp) we shrink to, whatever minimumFontScale says
+    public static final float MIN_FONT_SIZE = 4f;
+
+    @VisibleForTesting
+    static final float PRECISION = 0.5f;
+    private static final int CACHE_SIZE = 256;
+
+    // Shared by the shadow node and the view, so re-measures of the same text are free
+    private static final LruCache<String, Float> fitCache = new LruCache<>(CACHE_SIZE);
+
+    // Layouts built by the search, lets tests see fitting work the callers cannot
+    @VisibleForTesting
+    static final AtomicInteger fitLayoutCount = new AtomicInteger();
+
+    /**
+     * Binary-searches the largest font size (px) between minFontSize and maxFontSize at which
+     * the text, including its stroke, fits a box of width x height. A height of 0 means
+     * unbounded; without numberOfLines the text then has to fit without wrapping.
+     */
+    public static float fitFontSize(
+            TextPaint paint,
+            String text,
+            float maxFontSize,
+            float minFontSize,
+            float strokeWidth,
+            int width,
+            int height,
+            int numberOfLines) {
+
+        if (text == null || text.isEmpty() || width <= 0 || minFontSize >= maxFontSize) {
+            return maxFontSize;
+        }
+
+        String key = text + '\u0000' + paint.getTypeface() + '|' + maxFontSize + '|' + minFontSize
+            + '|' + strokeWidth + '|' + width + '|' + height + '|' + numberOfLines;
+        Float cached = fitCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int availableWidth = (int) (width - strokeWidth * 2);
+        float availableHeight = height > 0 ? height - strokeWidth * 2 : Float.MAX_VALUE;
+        int maxLines;
+        if (numberOfLines > 0) {
+            maxLines = numberOfLines;
+        } else if (height > 0) {
+            maxLines = Integer.MAX_VALUE;
+        } else {
+            maxLines = countLines(text);
+        }
+
+        float originalSize = paint.getTextSize();
+        float fontSize;
+        if (availableWidth <= 0) {
+            fontSize = minFontSize;
+        } else if (fits(paint, text, maxFontSize, availableWidth, availableHeight, maxLines)) {
+            fontSize = maxFontSize;
+        } else {
+            float low = minFontSize;
+            float high = maxFontSize;
+            while (high - low > PRECISION) {
+                float mid = (low + high) / 2;
+                if (fits(paint, text, mid, availableWidth, availableHeight, maxLines)) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            fontSize = low;
+        }
+        paint.setTextSize(originalSize);
+
+        fitCache.put(key, fontSize);
+        return fontSize;
+    }
+
+    private static boolean fits(
+            TextPaint paint,
+            String text,
+            float fontSize,
+            int availableWidth,
+            float availableHeight,
+            int maxLines) {
+        paint.setTextSize(fontSize);
+        fitLayoutCount.incrementAndGet();
+        StaticLayout layout = new StaticLayout(
+            text,
+            paint,
+            availableWidth,
+            Layout.Alignment.ALIGN_NORMAL,
+            1.0f,
+            0.0f,
+            false
+        );
+        return layout.getLineCount() <= maxLines && layout.getHeight() <= availableHeight;
+    }
+
+    @VisibleForTesting
+    static void clearCache() {
+        fitCache.evictAll();
+    }
+
+    private static int countLines(String text) {
+        int lines = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -6,6 +6,7 @@ import android.graphics.Typeface;
 import com.facebook.react.views.text.ReactFontManager;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public class FontUtil {
 
@@ -18,6 +19,28 @@ public class FontUtil {
         return typeface != null ? typeface : Typeface.DEFAULT;
     }
 
+    /**
+     * Identifies the file fontFamily resolves to, so measurements cached for another file
+     * under the same name are not reused. Fonts not bundled in assets are identified by name.
+     */
+    public static String getFontSource(Context context, String fontFamily) {
+        String fontPath = findFontFile(context, "fonts/", fontFamily);
+        if (fontPath == null) {
+            return fontFamily;
+        }
+        try {
+            InputStream input = context.getAssets().open(fontPath);
+            try {
+                return fontPath + ':' + input.available();
+            } finally {
+                input.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return fontPath;
+        }
+    }
+
     private static Typeface getFontFromAssets(Context context, String fontFamily) {
         String fontPath = findFontFile(context, "fonts/", fontFamily);
         if (fontPath != null) {
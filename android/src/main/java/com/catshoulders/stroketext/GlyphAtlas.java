@@ -0,0 +1,134 @@
+package com.catshoulders.stroketext;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.util.LruCache;
+
+/**
+ * Stroke and fill masks of a small character set, rasterized once per font, size and
+ * stroke width. Text made of those characters is drawn by blitting sprites, with no
+ * text layout. Masks are ALPHA_8, so the paint color tints them and colors can change
+ * without a new atlas.
+ */
+class GlyphAtlas {
+    public static final String DEFAULT_CHARACTERS = "0123456789 .,:;+-x%/";
+
+    private static final int CACHE_SIZE = 8;
+
+    // Shared by every view using the same font, size and stroke
+    private static final LruCache<String, GlyphAtlas> atlasCache = new LruCache<>(CACHE_SIZE);
+
+    private final String characters;
+    private final float padding;
+    private final float ascent;
+    private final float lineHeight;
+    private final float[] advances;
+    private final Rect[] cells;
+    private final Bitmap strokeBitmap;
+    private final Bitmap fillBitmap;
+    private final RectF destination = new RectF();
+
+    public static GlyphAtlas get(Typeface typeface, float fontSize, float strokeWidth, String characters) {
+        String key = typeface + "|" + fontSize + "|" + strokeWidth + "|" + characters;
+        GlyphAtlas atlas = atlasCache.get(key);
+        if (atlas == null) {
+            atlas = new GlyphAtlas(typeface, fontSize, strokeWidth, characters);
+            atlasCache.put(key, atlas);
+        }
+        return atlas;
+    }
+
+    private GlyphAtlas(Typeface typeface, float fontSize, float strokeWidth, String characters) {
+        this.characters = characters;
+
+        TextPaint fillPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        fillPaint.setTypeface(typeface);
+        fillPaint.setTextSize(fontSize);
+
+        TextPaint strokePaint = new TextPaint(fillPaint);
+        strokePaint.setStyle(Paint.Style.STROKE);
+        strokePaint.setStrokeJoin(Paint.Join.ROUND);
+        strokePaint.setStrokeCap(Paint.Cap.ROUND);
+        strokePaint.setStrokeWidth(strokeWidth);
+
+        Paint.FontMetrics metrics = fillPaint.getFontMetrics();
+        padding = strokeWidth;
+        ascent = metrics.ascent;
+        lineHeight = metrics.descent - metrics.ascent;
+
+        int count = characters.length();
+        advances = new float[count];
+        cells = new Rect[count];
+        int cellHeight = (int) Math.ceil(lineHeight + padding * 2);
+        int x = 0;
+        for (int i = 0; i < count; i++) {
+            advances[i] = fillPaint.measureText(characters, i, i + 1);
+            int cellWidth = (int) Math.ceil(advances[i] + padding * 2);
+            cells[i] = new Rect(x, 0, x + cellWidth, cellHeight);
+            x += cellWidth;
+        }
+
+        strokeBitmap = Bitmap.createBitmap(Math.max(1, x), Math.max(1, cellHeight), Bitmap.Config.ALPHA_8);
+        fillBitmap = Bitmap.createBitmap(Math.max(1, x), Math.max(1, cellHeight), Bitmap.Config.ALPHA_8);
+        Canvas strokeCanvas = new Canvas(strokeBitmap);
+        Canvas fillCanvas = new Canvas(fillBitmap);
+        for (int i = 0; i < count; i++) {
+            float glyphX = cells[i].left + padding;
+            float baseline = padding - ascent;
+            strokeCanvas.drawText(characters, i, i + 1, glyphX, baseline, strokePaint);
+            fillCanvas.drawText(characters, i, i + 1, glyphX, baseline, fillPaint);
+        }
+    }
+
+    public static boolean canDraw(String characters, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (characters.indexOf(text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public float measureText(String text) {
+        float width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += advances[characters.indexOf(text.charAt(i))];
+        }
+        return width;
+    }
+
+    public float getLineHeight() {
+        return lineHeight;
+    }
+
+    public float getAscent() {
+        return ascent;
+    }
+
+    /**
+     * Draws every stroke sprite first and the fill sprites on top, like the stroke and
+     * text layouts are drawn, starting at x on the given baseline.
+     */
+    public void draw(Canvas canvas, String text, float x, float baseline, Paint strokePaint, Paint fillPaint) {
+        drawSprites(canvas, strokeBitmap, text, x, baseline, strokePaint);
+        drawSprites(canvas, fillBitmap, text, x, baseline, fillPaint);
+    }
+
+    private void drawSprites(Canvas canvas, Bitmap bitmap, String text, float x, float baseline, Paint paint) {
+        // Whole pixel origins, ALPHA_8 sprites blitted at fractions shimmer as the text moves
+        float top = Math.round(baseline + ascent - padding);
+        for (int i = 0; i < text.length(); i++) {
+            int index = characters.indexOf(text.charAt(i));
+            Rect cell = cells[index];
+            float left = Math.round(x - padding);
+            destination.set(left, top, left + cell.width(), top + cell.height());
+            canvas.drawBitmap(bitmap, cell, destination, paint);
+            x += advances[index];
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.catshoulders.stroketext;
+
+import android.graphics.Rect;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Spreads StrokeTextView layout rebuilds over frames when many views change at once.
+ * Visible views are rebuilt on the next frame, off-screen ones only while the frame
+ * budget lasts, but at least one per frame. Queued views keep drawing their last layout
+ * meanwhile. UI thread only.
+ */
+class LayoutScheduler implements Choreographer.FrameCallback {
+    private static volatile long frameBudgetNanos = 0;
+    private static LayoutScheduler instance;
+
+    private final LinkedHashSet<StrokeTextView> pending = new LinkedHashSet<>();
+    private final Rect visibleRect = new Rect();
+    private boolean frameScheduled = false;
+
+    /**
+     * Sets how long off-screen rebuilds may take per frame, 0 rebuilds synchronously.
+     */
+    public static void setFrameBudget(float budgetMs) {
+        frameBudgetNanos = (long) (Math.max(0, budgetMs) * 1000000);
+    }
+
+    public static boolean isEnabled() {
+        return frameBudgetNanos > 0;
+    }
+
+    public static LayoutScheduler getInstance() {
+        if (instance == null) {
+            instance = new LayoutScheduler();
+        }
+        return instance;
+    }
+
+    public void schedule(StrokeTextView view) {
+        pending.add(view);
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    public void cancel(StrokeTextView view) {
+        pending.remove(view);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frameScheduled = false;
+        long start = System.nanoTime();
+
+        // Turned off while views were queued, so nothing may be left waiting for a later frame
+        if (!isEnabled()) {
+            List<StrokeTextView> views = new ArrayList<>(pending);
+            pending.clear();
+            for (StrokeTextView view : views) {
+                view.runScheduledLayout();
+            }
+            return;
+        }
+
+        // What is on screen must not lag behind, so visible views go first regardless of budget
+        List<StrokeTextView> offscreen = new ArrayList<>();
+        Iterator<StrokeTextView> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            StrokeTextView view = iterator.next();
+            if (view.isShown() && view.getGlobalVisibleRect(visibleRect)) {
+                iterator.remove();
+                view.runScheduledLayout();
+            } else {
+                offscreen.add(view);
+            }
+        }
+
+        // At least one per frame, so steady visible work cannot starve the off-screen queue
+        boolean first = true;
+        for (StrokeTextView view : offscreen) {
+            if (!first && System.nanoTime() - start >= frameBudgetNanos) {
+                break;
+            }
+            first = false;
+            pending.remove(view);
+            view.runScheduledLayout();
+        }
+
+        if (!pending.isEmpty()) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
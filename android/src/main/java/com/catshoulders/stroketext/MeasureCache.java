@@ -0,0 +1,213 @@
+package com.catshoulders.stroketext;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.util.DisplayMetrics;
+import android.util.Log;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measurement results kept across launches, so the first screen can skip text shaping.
+ * Entries map a 64-bit hash of the measure inputs to the packed Yoga size. The file is
+ * memory-mapped at init and rewritten in the background after new results come in.
+ * It is dropped when density, font scale, the app (and with it its fonts) or the system
+ * build (and with it the system fonts) changes.
+ */
+class MeasureCache {
+    private static final String TAG = "MeasureCache";
+
+    private static final String FILE_NAME = "stroke-text-measure.bin";
+    private static final int MAGIC = 0x53544D31; // "STM1"
+    private static final int HEADER_SIZE = 4 + 8 + 4;
+    private static final int ENTRY_SIZE = 8 + 8;
+    private static final int MAX_ENTRIES = 2048;
+    private static final long WRITE_DELAY_MS = 1000;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static volatile MeasureCache instance;
+
+    private final File file;
+    private final long fingerprint;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final LinkedHashMap<Long, Long> entries = new LinkedHashMap<Long, Long>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private boolean writeScheduled = false;
+
+    public static MeasureCache getInstance() {
+        return instance;
+    }
+
+    public static synchronized void init(Context context) {
+        if (instance != null) {
+            return;
+        }
+        final MeasureCache cache = new MeasureCache(context.getApplicationContext());
+        cache.executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                cache.load();
+            }
+        });
+        instance = cache;
+    }
+
+    @VisibleForTesting
+    MeasureCache(Context context) {
+        file = new File(context.getCacheDir(), FILE_NAME);
+
+        DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+        long updateTime = 0;
+        try {
+            updateTime = context.getPackageManager()
+                .getPackageInfo(context.getPackageName(), 0)
+                .lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            Log.e(TAG, "Error reading package info", e);
+        }
+        long hash = hash(FNV_OFFSET, displayMetrics.density);
+        hash = hash(hash, context.getResources().getConfiguration().fontScale);
+        hash = hash(hash, updateTime);
+        fingerprint = hash(hash, Build.FINGERPRINT);
+    }
+
+    public synchronized Long get(long key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(long key, long size) {
+        entries.put(key, size);
+        if (!writeScheduled) {
+            writeScheduled = true;
+            executor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    write();
+                }
+            }, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @VisibleForTesting
+    void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            RandomAccessFile input = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = input.getChannel();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.remaining() < HEADER_SIZE
+                        || buffer.getInt() != MAGIC
+                        || buffer.getLong() != fingerprint) {
+                    Log.d(TAG, "Measure cache is stale, dropping it");
+                    file.delete();
+                    return;
+                }
+                int count = buffer.getInt();
+                if (count < 0 || buffer.remaining() < (long) count * ENTRY_SIZE) {
+                    file.delete();
+                    return;
+                }
+                synchronized (this) {
+                    for (int i = 0; i < count; i++) {
+                        long key = buffer.getLong();
+                        long size = buffer.getLong();
+                        // Results measured since launch are fresher than the file
+                        if (!entries.containsKey(key)) {
+                            entries.put(key, size);
+                        }
+                    }
+                }
+                Log.d(TAG, "Loaded " + count + " measurements");
+            } finally {
+                input.close();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error loading measure cache", e);
+        }
+    }
+
+    @VisibleForTesting
+    void write() {
+        List<Map.Entry<Long, Long>> snapshot;
+        synchronized (this) {
+            writeScheduled = false;
+            snapshot = new ArrayList<>(entries.entrySet());
+        }
+
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            try {
+                out.writeInt(MAGIC);
+                out.writeLong(fingerprint);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Long, Long> entry : snapshot) {
+                    out.writeLong(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            } finally {
+                out.close();
+            }
+            if (!tempFile.renameTo(file)) {
+                Log.e(TAG, "Error replacing measure cache");
+                tempFile.delete();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing measure cache", e);
+            tempFile.delete();
+        }
+    }
+
+    // FNV-1a, good enough to key a few thousand measurements
+    public static long hash(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    public static long hash(long hash, float value) {
+        return hash(hash, (long) Float.floatToIntBits(value));
+    }
+
+    public static long hash(long hash, String value) {
+        if (value == null) {
+            return hash(hash, -1L);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = hash(hash, (long) value.charAt(i));
+        }
+        return hash(hash, (long) value.length());
+    }
+
+    public static long newHash() {
+        return FNV_OFFSET;
+    }
+}
@@ -0,0 +1,318 @@
+package com.catshoulders.stroketext;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.util.TypedValue;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.facebook.yoga.YogaMeasureMode;
+import com.facebook.yoga.YogaMeasureOutput;
+
+/**
+ * Measures stroked text the way StrokeTextView lays it out. Kept apart from
+ * StrokeTextShadowNode so it can run without a Yoga node.
+ */
+class StrokeTextMeasurer {
+
+    private static final String TAG = "StrokeTextMeasurer";
+
+    private String text = "";
+    private float fontSize = 14;
+    private float strokeWidth = 1;
+    private String fontFamily = "sans-serif";
+    private int numberOfLines = 0;
+    private float customWidth = 0;
+    private boolean adjustsFontSizeToFit = false;
+    private float minimumFontScale = 0;
+    private boolean ellipsis = false;
+    private boolean atlasRendering = false;
+    private String atlasCharacters = GlyphAtlas.DEFAULT_CHARACTERS;
+    private Typeface typeface;
+    private String fontSource;
+    private final TextPaint textPaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+    private final boolean usePersistentCache;
+
+    StrokeTextMeasurer() {
+        this(false);
+    }
+
+    /**
+     * Only measurers for mounted text should pass usePersistentCache, one-off batches would
+     * evict those entries and rewrite the cache file.
+     */
+    StrokeTextMeasurer(boolean usePersistentCache) {
+        this.usePersistentCache = usePersistentCache;
+    }
+
+    public void setText(String text) {
+        this.text = text != null ? text : "";
+    }
+
+    public void setFontSize(float fontSize) {
+        this.fontSize = fontSize;
+    }
+
+    public void setStrokeWidth(float strokeWidth) {
+        this.strokeWidth = strokeWidth;
+    }
+
+    public void setFontFamily(String fontFamily) {
+        this.fontFamily = fontFamily != null ? fontFamily : "sans-serif";
+        this.typeface = null;
+        this.fontSource = null;
+    }
+
+    public void setNumberOfLines(int numberOfLines) {
+        this.numberOfLines = numberOfLines;
+    }
+
+    public void setCustomWidth(float width) {
+        this.customWidth = width;
+    }
+
+    public void setAdjustsFontSizeToFit(boolean adjustsFontSizeToFit) {
+        this.adjustsFontSizeToFit = adjustsFontSizeToFit;
+    }
+
+    public void setMinimumFontScale(float minimumFontScale) {
+        this.minimumFontScale = minimumFontScale;
+    }
+
+    public void setEllipsis(boolean ellipsis) {
+        this.ellipsis = ellipsis;
+    }
+
+    public void setRenderMode(String renderMode) {
+        this.atlasRendering = "atlas".equals(renderMode);
+    }
+
+    public void setAtlasCharacters(String atlasCharacters) {
+        this.atlasCharacters = atlasCharacters != null ? atlasCharacters : GlyphAtlas.DEFAULT_CHARACTERS;
+    }
+
+    /**
+     * Uses an already resolved font for fontFamily instead of looking it up on first measure.
+     */
+    public void setTypeface(Typeface typeface) {
+        this.typeface = typeface;
+    }
+
+    public long measure(
+            Context context,
+            float width,
+            YogaMeasureMode widthMode,
+            float height,
+            YogaMeasureMode heightMode) {
+
+        // Sprite text is cheap to measure and changes too often to be worth a cache entry
+        MeasureCache cache = usePersistentCache && !drawsFromAtlas() ? MeasureCache.getInstance() : null;
+        if (cache == null) {
+            return computeMeasure(context, width, widthMode, height, heightMode);
+        }
+
+        long key = getCacheKey(context, width, widthMode, height, heightMode);
+        Long cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long size = computeMeasure(context, width, widthMode, height, heightMode);
+        cache.put(key, size);
+        return size;
+    }
+
+    private long getCacheKey(
+            Context context,
+            float width,
+            YogaMeasureMode widthMode,
+            float height,
+            YogaMeasureMode heightMode) {
+        DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+        if (fontSource == null) {
+            fontSource = FontUtil.getFontSource(context, fontFamily);
+        }
+        long key = MeasureCache.newHash();
+        key = MeasureCache.hash(key, text);
+        key = MeasureCache.hash(key, fontSource);
+        key = MeasureCache.hash(key, fontSize);
+        key = MeasureCache.hash(key, strokeWidth);
+        key = MeasureCache.hash(key, (long) numberOfLines);
+        key = MeasureCache.hash(key, customWidth);
+        key = MeasureCache.hash(key, adjustsFontSizeToFit ? minimumFontScale : -1f);
+        key = MeasureCache.hash(key, widthMode == YogaMeasureMode.UNDEFINED ? Float.NaN : width);
+        key = MeasureCache.hash(key, (long) widthMode.intValue());
+        key = MeasureCache.hash(key, heightMode == YogaMeasureMode.UNDEFINED ? Float.NaN : height);
+        key = MeasureCache.hash(key, (long) heightMode.intValue());
+        key = MeasureCache.hash(key, displayMetrics.density);
+        return MeasureCache.hash(key, context.getResources().getConfiguration().fontScale);
+    }
+
+    private long computeMeasure(
+            Context context,
+            float width,
+            YogaMeasureMode widthMode,
+            float height,
+            YogaMeasureMode heightMode) {
+
+        Log.d(TAG, "measure called - width: " + width + " (" + widthMode + "), height: " + height + " (" + heightMode + "), text: '" + text + "'");
+
+        DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+
+        // Get scaled size
+        float scaledFontSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, fontSize, displayMetrics);
+        float scaledStrokeWidth = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, strokeWidth, displayMetrics);
+
+        // If text is empty, return minimal dimensions
+        if (text == null || text.isEmpty()) {
+            float strokePadding = scaledStrokeWidth * 2;
+            int minWidth = (int) (scaledFontSize * 2 + strokePadding);
+            int minHeight = (int) (scaledFontSize + strokePadding);
+            return YogaMeasureOutput.make(minWidth, minHeight);
+        }
+
+        // Setup text paint
+        if (typeface == null) {
+            typeface = FontUtil.getFont(context, fontFamily);
+        }
+        textPaint.setTypeface(typeface);
+        textPaint.setTextSize(scaledFontSize);
+
+        // Shrink font to fit the available box
+        if (adjustsFontSizeToFit) {
+            int fitWidth = 0;
+            if (widthMode != YogaMeasureMode.UNDEFINED) {
+                fitWidth = (int) width;
+            } else if (customWidth > 0) {
+                fitWidth = (int) Math.ceil(
+                    TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, customWidth, displayMetrics)
+                        + scaledStrokeWidth * 2
+                );
+            }
+            int fitHeight = heightMode != YogaMeasureMode.UNDEFINED ? (int) height : 0;
+            float minFontSize = Math.max(
+                scaledFontSize * minimumFontScale,
+                TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, FontFitUtil.MIN_FONT_SIZE, displayMetrics)
+            );
+            scaledFontSize = FontFitUtil.fitFontSize(
+                textPaint,
+                text,
+                scaledFontSize,
+                minFontSize,
+                scaledStrokeWidth,
+                fitWidth,
+                fitHeight,
+                numberOfLines
+            );
+            textPaint.setTextSize(scaledFontSize);
+        }
+
+        int measureWidth;
+
+        // Determine width to use for layout
+        if (widthMode == YogaMeasureMode.EXACTLY) {
+            measureWidth = (int) width;
+        } else {
+            // Calculate default width based on text
+            int defaultWidth;
+            if (customWidth > 0) {
+                defaultWidth = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, customWidth, displayMetrics);
+            } else {
+                boolean atlas = drawsFromAtlas();
+                String[] lines = text.split("\n");
+                float maxLineWidth = 0;
+                for (String line : lines) {
+                    if (line != null && !line.isEmpty()) {
+                        float lineWidth = atlas ? measureAdvances(line) : textPaint.measureText(line);
+                        maxLineWidth = Math.max(maxLineWidth, lineWidth);
+                    }
+                }
+                maxLineWidth += scaledStrokeWidth * 2;
+                defaultWidth = Math.max(100, (int) Math.ceil(maxLineWidth));
+            }
+
+            if (widthMode == YogaMeasureMode.AT_MOST) {
+                measureWidth = Math.min(defaultWidth, (int) width);
+            } else {
+                measureWidth = defaultWidth;
+            }
+        }
+
+        int finalWidth;
+        int finalHeight;
+        if (drawsFromAtlas()) {
+            // StrokeTextView draws this as one line of sprites, so no layout is needed
+            Paint.FontMetrics metrics = textPaint.getFontMetrics();
+            finalWidth = measureWidth;
+            finalHeight = (int) Math.ceil(metrics.descent - metrics.ascent);
+        } else {
+            // Create layout to measure height
+            StaticLayout layout = createLayout(measureWidth);
+
+            finalWidth = layout.getWidth();
+            finalHeight = layout.getHeight();
+
+            // Apply numberOfLines constraint
+            if (numberOfLines > 0 && numberOfLines < layout.getLineCount()) {
+                finalHeight = layout.getLineTop(numberOfLines);
+            }
+        }
+
+        // Add stroke padding
+        float strokePadding = scaledStrokeWidth * 2;
+        finalWidth = (int) Math.ceil(finalWidth + strokePadding);
+        finalHeight = (int) Math.ceil(finalHeight + strokePadding);
+
+        // Apply height constraints if specified
+        if (heightMode == YogaMeasureMode.EXACTLY) {
+            finalHeight = (int) height;
+        } else if (heightMode == YogaMeasureMode.AT_MOST) {
+            finalHeight = Math.min(finalHeight, (int) height);
+        }
+
+        // Ensure minimum dimensions
+        int minWidth = (int) (scaledFontSize * 2 + strokePadding);
+        int minHeight = (int) (scaledFontSize + strokePadding);
+        finalWidth = Math.max(minWidth, finalWidth);
+        finalHeight = Math.max(minHeight, finalHeight);
+
+        Log.d(TAG, "measure returning: " + finalWidth + "x" + finalHeight);
+        return YogaMeasureOutput.make(finalWidth, finalHeight);
+    }
+
+    // Same condition as StrokeTextView.canDrawFromAtlas
+    private boolean drawsFromAtlas() {
+        return atlasRendering
+            && !adjustsFontSizeToFit
+            && !ellipsis
+            && numberOfLines == 0
+            && GlyphAtlas.canDraw(atlasCharacters, text);
+    }
+
+    // Sum of single character advances, the way GlyphAtlas places its sprites
+    private float measureAdvances(String line) {
+        float width = 0;
+        for (int i = 0; i < line.length(); i++) {
+            width += textPaint.measureText(line, i, i + 1);
+        }
+        return width;
+    }
+
+    @VisibleForTesting
+    StaticLayout createLayout(int width) {
+        return new StaticLayout(
+            text,
+            textPaint,
+            width,
+            Layout.Alignment.ALIGN_NORMAL,
+            1.0f,
+            0.0f,
+            false
+        );
+    }
+}
@@ -0,0 +1,364 @@
+package com.catshoulders.stroketext;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Typeface;
+import android.util.Base64;
+import android.util.Log;
+import android.view.View;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ColorPropConverter;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.yoga.YogaMeasureMode;
+import com.facebook.yoga.YogaMeasureOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StrokeTextModule extends ReactContextBaseJavaModule {
+    public static final String NAME = "StrokeTextModule";
+    private static final String TAG = "StrokeTextModule";
+
+    private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    private static final BitmapPool bitmapPool = new BitmapPool();
+
+    private static final String RENDER_DIR = "stroke-text";
+    // Rendered PNGs kept on disk, older ones are deleted
+    private static final int MAX_RENDER_FILES = 100;
+    private static final Object renderDirLock = new Object();
+    // Some file systems only keep lastModified to the second
+    private static final long MODIFIED_PRECISION_MS = 2000;
+
+    public StrokeTextModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        // Renders from a previous launch are no longer referenced, ones made from now on may be
+        final long createdAt = System.currentTimeMillis();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                deleteRendersBefore(createdAt);
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Lets StrokeTextView layout rebuilds wait for LayoutScheduler, which spends at most
+     * budgetMs per frame on off-screen views. 0 turns it off.
+     */
+    @ReactMethod
+    public void setLayoutFrameBudget(double budgetMs) {
+        LayoutScheduler.setFrameBudget((float) budgetMs);
+    }
+
+    /**
+     * Measures every text with the same logic as StrokeTextShadowNode, split across the
+     * thread pool, and resolves with one { width, height } per text in dp.
+     */
+    @ReactMethod
+    public void measureTexts(ReadableArray texts, ReadableMap style, Promise promise) {
+        final int count = texts.size();
+        if (count == 0) {
+            promise.resolve(createArray());
+            return;
+        }
+
+        final String[] items = new String[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                items[i] = texts.isNull(i) ? "" : texts.getString(i);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading texts", e);
+            promise.reject("E_MEASURE_TEXTS", e);
+            return;
+        }
+
+        final float[] widths = new float[count];
+        final float[] heights = new float[count];
+        final int chunkCount = Math.min(THREAD_COUNT, count);
+        final int chunkSize = (count + chunkCount - 1) / chunkCount;
+        final AtomicInteger remaining = new AtomicInteger(chunkCount);
+        final AtomicBoolean failed = new AtomicBoolean(false);
+
+        final float maxWidth = hasValue(style, "maxWidth")
+            ? PixelUtil.toPixelFromDIP(style.getDouble("maxWidth"))
+            : Float.NaN;
+        final YogaMeasureMode widthMode = Float.isNaN(maxWidth)
+            ? YogaMeasureMode.UNDEFINED
+            : YogaMeasureMode.AT_MOST;
+
+        // ReactFontManager's cache is not thread safe, Typeface is immutable and can be shared
+        final Typeface typeface = FontUtil.getFont(getReactApplicationContext(), getFontFamily(style));
+
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            final int start = chunk * chunkSize;
+            final int end = Math.min(start + chunkSize, count);
+            // TextPaint is not thread safe, so every chunk gets its own measurer
+            final StrokeTextMeasurer measurer = createMeasurer(style, typeface);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = start; i < end; i++) {
+                            measurer.setText(items[i]);
+                            long size = measurer.measure(
+                                getReactApplicationContext(),
+                                maxWidth,
+                                widthMode,
+                                Float.NaN,
+                                YogaMeasureMode.UNDEFINED
+                            );
+                            widths[i] = PixelUtil.toDIPFromPixel(YogaMeasureOutput.getWidth(size));
+                            heights[i] = PixelUtil.toDIPFromPixel(YogaMeasureOutput.getHeight(size));
+                        }
+                    } catch (Exception e) {
+                        Log.e(TAG, "Error measuring texts", e);
+                        if (failed.compareAndSet(false, true)) {
+                            promise.reject("E_MEASURE_TEXTS", e);
+                        }
+                    }
+
+                    if (remaining.decrementAndGet() == 0 && !failed.get()) {
+                        WritableArray result = createArray();
+                        for (int i = 0; i < count; i++) {
+                            WritableMap size = createMap();
+                            size.putDouble("width", widths[i]);
+                            size.putDouble("height", heights[i]);
+                            result.pushMap(size);
+                        }
+                        promise.resolve(result);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Draws the text with a detached StrokeTextView on the thread pool, so nothing has to be
+     * mounted, and resolves with a PNG file path or, with format "base64", the encoded PNG.
+     * The image is sized like a mounted StrokeText with the same style.
+     */
+    @ReactMethod
+    public void renderText(String text, ReadableMap style, ReadableMap options, Promise promise) {
+        final boolean base64 = hasValue(options, "format") && "base64".equals(options.getString("format"));
+        final StrokeTextView view = new StrokeTextView(
+            new ThemedReactContext(getReactApplicationContext(), getReactApplicationContext())
+        );
+        applyStyle(getReactApplicationContext(), view, text, style);
+        final StrokeTextMeasurer measurer = createMeasurer(style, view.preloadFont());
+        measurer.setText(text);
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    // Size it the way Yoga sizes a mounted view, the view then lays out at exactly that
+                    long size = measurer.measure(
+                        getReactApplicationContext(),
+                        Float.NaN,
+                        YogaMeasureMode.UNDEFINED,
+                        Float.NaN,
+                        YogaMeasureMode.UNDEFINED
+                    );
+                    int width = (int) Math.ceil(YogaMeasureOutput.getWidth(size));
+                    int height = (int) Math.ceil(YogaMeasureOutput.getHeight(size));
+                    view.measure(
+                        View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                        View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY)
+                    );
+                    view.layout(0, 0, width, height);
+
+                    Bitmap bitmap = bitmapPool.acquire(width, height);
+                    try {
+                        view.draw(new Canvas(bitmap));
+                        promise.resolve(base64 ? encodeBase64(bitmap) : writeFile(bitmap));
+                    } finally {
+                        bitmapPool.release(bitmap);
+                    }
+                } catch (Exception e) {
+                    Log.e(TAG, "Error rendering text", e);
+                    promise.reject("E_RENDER_TEXT", e);
+                }
+            }
+        });
+    }
+
+    private String writeFile(Bitmap bitmap) throws IOException {
+        File dir = new File(getReactApplicationContext().getCacheDir(), RENDER_DIR);
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File file;
+        synchronized (renderDirLock) {
+            file = File.createTempFile("stroke-text-", ".png", dir);
+            pruneRenderDir(dir, file, MAX_RENDER_FILES);
+        }
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+        } finally {
+            out.close();
+        }
+        return file.getAbsolutePath();
+    }
+
+    private void deleteRendersBefore(long time) {
+        synchronized (renderDirLock) {
+            File[] files = new File(getReactApplicationContext().getCacheDir(), RENDER_DIR).listFiles();
+            if (files == null) {
+                return;
+            }
+            for (File file : files) {
+                if (file.lastModified() < time - MODIFIED_PRECISION_MS && !file.delete()) {
+                    Log.e(TAG, "Could not delete " + file);
+                }
+            }
+        }
+    }
+
+    // Deletes the oldest rendered PNGs except keep until at most maxFiles are left, needs renderDirLock
+    private static void pruneRenderDir(File dir, File keep, int maxFiles) {
+        File[] files = dir.listFiles();
+        if (files == null || files.length <= maxFiles) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        for (int i = 0; i < files.length - maxFiles; i++) {
+            if (!files[i].equals(keep) && !files[i].delete()) {
+                Log.e(TAG, "Could not delete " + files[i]);
+            }
+        }
+    }
+
+    private static String encodeBase64(Bitmap bitmap) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+        return Base64.encodeToString(out.toByteArray(), Base64.NO_WRAP);
+    }
+
+    private static void applyStyle(Context context, StrokeTextView view, String text, ReadableMap style) {
+        view.setText(text);
+        if (hasValue(style, "fontSize")) {
+            view.setFontSize((float) style.getDouble("fontSize"));
+        }
+        if (hasValue(style, "color")) {
+            view.setTextColor(getColor(context, style, "color"));
+        }
+        if (hasValue(style, "strokeColor")) {
+            view.setStrokeColor(getColor(context, style, "strokeColor"));
+        }
+        if (hasValue(style, "strokeWidth")) {
+            view.setStrokeWidth((float) style.getDouble("strokeWidth"));
+        }
+        if (hasValue(style, "fontFamily")) {
+            view.setFontFamily(style.getString("fontFamily"));
+        }
+        if (hasValue(style, "align")) {
+            view.setTextAlignment(style.getString("align"));
+        }
+        if (hasValue(style, "numberOfLines")) {
+            view.setNumberOfLines(style.getInt("numberOfLines"));
+        }
+        if (hasValue(style, "ellipsis")) {
+            view.setEllipsis(style.getBoolean("ellipsis"));
+        }
+        if (hasValue(style, "width")) {
+            view.setCustomWidth((float) style.getDouble("width"));
+        }
+        if (hasValue(style, "adjustsFontSizeToFit")) {
+            view.setAdjustsFontSizeToFit(style.getBoolean("adjustsFontSizeToFit"));
+        }
+        if (hasValue(style, "minimumFontScale")) {
+            view.setMinimumFontScale((float) style.getDouble("minimumFontScale"));
+        }
+    }
+
+    private static StrokeTextMeasurer createMeasurer(ReadableMap style, Typeface typeface) {
+        StrokeTextMeasurer measurer = new StrokeTextMeasurer();
+        if (hasValue(style, "fontSize")) {
+            measurer.setFontSize((float) style.getDouble("fontSize"));
+        }
+        if (hasValue(style, "strokeWidth")) {
+            measurer.setStrokeWidth((float) style.getDouble("strokeWidth"));
+        }
+        measurer.setFontFamily(getFontFamily(style));
+        measurer.setTypeface(typeface);
+        if (hasValue(style, "numberOfLines")) {
+            measurer.setNumberOfLines(style.getInt("numberOfLines"));
+        }
+        if (hasValue(style, "width")) {
+            measurer.setCustomWidth((float) style.getDouble("width"));
+        }
+        if (hasValue(style, "adjustsFontSizeToFit")) {
+            measurer.setAdjustsFontSizeToFit(style.getBoolean("adjustsFontSizeToFit"));
+        }
+        if (hasValue(style, "minimumFontScale")) {
+            measurer.setMinimumFontScale((float) style.getDouble("minimumFontScale"));
+        }
+        return measurer;
+    }
+
+    // Colors from processColor arrive as numbers or PlatformColor maps, plain strings are parsed
+    private static int getColor(Context context, ReadableMap style, String key) {
+        switch (style.getType(key)) {
+            case Number:
+                return (int) style.getDouble(key);
+            case Map:
+                Integer color = ColorPropConverter.getColor(style.getMap(key), context);
+                return color != null ? color : 0xFF000000;
+            default:
+                return ColorUtil.parseColor(style.getString(key));
+        }
+    }
+
+    private static String getFontFamily(ReadableMap style) {
+        return hasValue(style, "fontFamily") ? style.getString("fontFamily") : "sans-serif";
+    }
+
+    // Arguments needs the native bridge, tests swap in JavaOnly collections
+    @VisibleForTesting
+    WritableArray createArray() {
+        return Arguments.createArray();
+    }
+
+    @VisibleForTesting
+    WritableMap createMap() {
+        return Arguments.createMap();
+    }
+
+    private static boolean hasValue(ReadableMap map, String key) {
+        return map.hasKey(key) && !map.isNull(key);
+    }
+}
@@ -6,13 +6,28 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.uimanager.ViewManager;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 public class StrokeTextPackage implements ReactPackage {
+  private final boolean persistentMeasureCache;
+
+  public StrokeTextPackage() {
+    this(false);
+  }
+
+  /**
+   * @param persistentMeasureCache keep measurement results on disk so cold starts skip text shaping
+   */
+  public StrokeTextPackage(boolean persistentMeasureCache) {
+    this.persistentMeasureCache = persistentMeasureCache;
+  }
+
   @Override
   public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-    return Collections.emptyList();
+    if (persistentMeasureCache) {
+      MeasureCache.init(reactContext);
+    }
+    return Arrays.<NativeModule>asList(new StrokeTextModule(reactContext));
   }
 
   @Override
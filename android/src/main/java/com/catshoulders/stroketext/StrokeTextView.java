@@ -1,8 +1,8 @@
 package com.catshoulders.stroketext;
 
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.Typeface;
 import android.text.Layout;
 import android.text.StaticLayout;
@@ -12,6 +12,8 @@ import android.util.Log;
 import android.util.TypedValue;
 import android.view.View;
 
+import androidx.annotation.VisibleForTesting;
+
 import com.facebook.react.uimanager.ThemedReactContext;
 
 import java.util.HashMap;
@@ -28,12 +30,21 @@ class StrokeTextView extends View {
     private String fontFamily = "sans-serif";
     private int numberOfLines = 0;
     private boolean ellipsis = false;
+    private boolean adjustsFontSizeToFit = false;
+    private float minimumFontScale = 0;
     private final TextPaint textPaint;
     private final TextPaint strokePaint;
     private Layout.Alignment alignment = Layout.Alignment.ALIGN_CENTER;
     private StaticLayout textLayout;
     private StaticLayout strokeLayout;
+    private boolean pathRendering = false;
+    private Path strokePath;
+    private boolean atlasRendering = false;
+    private String atlasCharacters = GlyphAtlas.DEFAULT_CHARACTERS;
+    private GlyphAtlas atlas;
     private boolean layoutDirty = true;
+    private int layoutWidth = 0;
+    private int scheduledLayoutWidth = 0;
     private float customWidth = 0;
     private final Map<String, Typeface> fontCache = new HashMap<>();
     private int measuredWidth = 0;
@@ -83,8 +94,39 @@ class StrokeTextView extends View {
         Log.d(TAG, "Constructor complete - fontSize: " + fontSize + ", scaledSize: " + scaledFontSize);
     }
 
-    private void createLayout(int width) {
+    // Rebuilds only when a prop changed or the layout was built for another width
+    private void ensureLayout(int width) {
+        // Sprites need no layout
+        if (canDrawFromAtlas()) {
+            return;
+        }
+        if (layoutDirty || textLayout == null || layoutWidth != width) {
+            rebuildLayout(width);
+        }
+    }
+
+    private void rebuildLayout(int width) {
+        // Attached views with something to draw may wait for LayoutScheduler
+        boolean hasLayout = textLayout != null && (strokeLayout != null || strokePath != null);
+        if (LayoutScheduler.isEnabled() && hasLayout && isAttachedToWindow()) {
+            scheduledLayoutWidth = width;
+            LayoutScheduler.getInstance().schedule(this);
+        } else {
+            createLayout(width);
+        }
+    }
+
+    void runScheduledLayout() {
+        if (!canDrawFromAtlas() && (layoutDirty || layoutWidth != scheduledLayoutWidth)) {
+            createLayout(scheduledLayoutWidth);
+            invalidate();
+        }
+    }
+
+    @VisibleForTesting
+    void createLayout(int width) {
         Log.d(TAG, "createLayout called with width: " + width);
+        layoutWidth = width;
 
         try {
             if (width <= 0) {
@@ -95,6 +137,21 @@ class StrokeTextView extends View {
             Typeface typeface = getFont(fontFamily);
             float scaledFontSize = getScaledSize(fontSize);
 
+            if (adjustsFontSizeToFit) {
+                textPaint.setTypeface(typeface);
+                float minFontSize = Math.max(scaledFontSize * minimumFontScale, getScaledSize(FontFitUtil.MIN_FONT_SIZE));
+                scaledFontSize = FontFitUtil.fitFontSize(
+                    textPaint,
+                    text,
+                    scaledFontSize,
+                    minFontSize,
+                    getScaledSize(strokeWidth),
+                    width,
+                    getHeight(),
+                    numberOfLines
+                );
+            }
+
             Log.d(TAG, "Creating layout - text: '" + text + "', fontSize: " + scaledFontSize + ", width: " + width);
 
             textPaint.setTypeface(typeface);
@@ -133,7 +190,13 @@ class StrokeTextView extends View {
                 textLayout = new StaticLayout(ellipsizedText, textPaint, width, alignment, 1.0f, 0.0f, false);
             }
 
-            strokeLayout = new StaticLayout(ellipsizedText, strokePaint, width, alignment, 1.0f, 0.0f, false);
+            if (pathRendering) {
+                strokeLayout = null;
+                strokePath = createStrokePath(textLayout);
+            } else {
+                strokeLayout = new StaticLayout(ellipsizedText, strokePaint, width, alignment, 1.0f, 0.0f, false);
+                strokePath = null;
+            }
 
             layoutDirty = false;
 
@@ -153,6 +216,23 @@ class StrokeTextView extends View {
         }
     }
 
+    // Glyph outlines of every laid-out line, so redraws only stroke a cached path
+    private Path createStrokePath(StaticLayout layout) {
+        String layoutText = layout.getText().toString();
+        Path path = new Path();
+        Path linePath = new Path();
+        for (int i = 0; i < layout.getLineCount(); i++) {
+            int start = layout.getLineStart(i);
+            int end = layout.getLineVisibleEnd(i);
+            if (end <= start) {
+                continue;
+            }
+            strokePaint.getTextPath(layoutText, start, end, layout.getLineLeft(i), layout.getLineBaseline(i), linePath);
+            path.addPath(linePath);
+        }
+        return path;
+    }
+
     private int getDefaultWidth() {
         if (customWidth > 0) {
             int width = (int) getScaledSize(customWidth);
@@ -184,6 +264,12 @@ class StrokeTextView extends View {
         return width;
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        LayoutScheduler.getInstance().cancel(this);
+    }
+
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
         super.onLayout(changed, left, top, right, bottom);
@@ -197,8 +283,10 @@ class StrokeTextView extends View {
         super.onSizeChanged(w, h, oldw, oldh);
         Log.d(TAG, "onSizeChanged - new: " + w + "x" + h + ", old: " + oldw + "x" + oldh);
         if (w > 0) {
-            layoutDirty = true;
-            createLayout(w);
+            if (adjustsFontSizeToFit && h != oldh) {
+                layoutDirty = true;
+            }
+            ensureLayout(w);
         }
     }
 
@@ -213,30 +301,22 @@ class StrokeTextView extends View {
 
         Log.d(TAG, "MeasureSpec - width: " + getModeString(widthMode) + " " + widthSize + ", height: " + getModeString(heightMode) + " " + heightSize);
 
-        // Calculate our desired dimensions
-        int defaultWidth = getDefaultWidth();
+        int width;
+        int height;
 
-        // Create layout with default width to get proper dimensions
-        if (layoutDirty || textLayout == null) {
-            createLayout(defaultWidth);
-        }
-
-        // Use our measured dimensions, ignoring React Native's 0 constraints
-        int width = measuredWidth;
-        int height = measuredHeight;
-
-        // Only respect non-zero constraints
+        // Only respect non-zero constraints, otherwise use our measured dimensions
         if (widthMode == MeasureSpec.EXACTLY && widthSize > 0) {
             width = widthSize;
-            // Recreate layout with new width
-            createLayout(width);
+            ensureLayout(width);
+            height = measuredHeight;
+        } else {
+            // Lay out at the default width unless it overflows the AT_MOST constraint
+            int defaultWidth = getDefaultWidth();
+            boolean constrained = widthMode == MeasureSpec.AT_MOST && widthSize > 0
+                && widthSize < (int) Math.ceil(defaultWidth + getScaledSize(strokeWidth) * 2);
+            ensureLayout(constrained ? widthSize : defaultWidth);
+            width = constrained ? widthSize : measuredWidth;
             height = measuredHeight;
-        } else if (widthMode == MeasureSpec.AT_MOST && widthSize > 0) {
-            width = Math.min(measuredWidth, widthSize);
-            if (width != measuredWidth) {
-                createLayout(width);
-                height = measuredHeight;
-            }
         }
 
         if (heightMode == MeasureSpec.EXACTLY && heightSize > 0) {
@@ -247,8 +327,9 @@ class StrokeTextView extends View {
 
         // Ensure minimum dimensions
         float strokePadding = getScaledSize(strokeWidth) * 2;
-        int minWidth = (int) (getScaledSize(fontSize) * 2 + strokePadding);
-        int minHeight = (int) (getScaledSize(fontSize) + strokePadding);
+        float minFontSize = adjustsFontSizeToFit ? textPaint.getTextSize() : getScaledSize(fontSize);
+        int minWidth = (int) (minFontSize * 2 + strokePadding);
+        int minHeight = (int) (minFontSize + strokePadding);
         width = Math.max(minWidth, width);
         height = Math.max(minHeight, height);
 
@@ -285,12 +366,17 @@ class StrokeTextView extends View {
             return;
         }
 
-        if (textLayout == null || strokeLayout == null) {
-            Log.d(TAG, "Layout is null, creating...");
-            createLayout(getWidth() > 0 ? getWidth() : getDefaultWidth());
+        if (canDrawFromAtlas()) {
+            drawFromAtlas(canvas);
+            return;
+        }
+
+        if (layoutDirty || textLayout == null || (strokeLayout == null && strokePath == null)) {
+            Log.d(TAG, "Layout is dirty or null, creating...");
+            rebuildLayout(getWidth());
         }
 
-        if (strokeLayout != null && textLayout != null) {
+        if (textLayout != null && (strokeLayout != null || strokePath != null)) {
             int viewWidth = getWidth();
             int viewHeight = getHeight();
 
@@ -315,7 +401,11 @@ class StrokeTextView extends View {
             canvas.translate(x, y);
 
             // Draw stroke first, then text on top
-            strokeLayout.draw(canvas);
+            if (strokePath != null) {
+                canvas.drawPath(strokePath, strokePaint);
+            } else {
+                strokeLayout.draw(canvas);
+            }
             textLayout.draw(canvas);
 
             canvas.restore();
@@ -326,6 +416,34 @@ class StrokeTextView extends View {
         }
     }
 
+    // The atlas holds one size and draws one unclipped line, so fitting and truncation need a layout
+    private boolean canDrawFromAtlas() {
+        return atlasRendering
+            && !adjustsFontSizeToFit
+            && !ellipsis
+            && numberOfLines == 0
+            && GlyphAtlas.canDraw(atlasCharacters, text);
+    }
+
+    // Blits the shared glyph sprites, no text layout involved
+    private void drawFromAtlas(Canvas canvas) {
+        float strokePadding = getScaledSize(strokeWidth);
+        if (atlas == null) {
+            atlas = GlyphAtlas.get(getFont(fontFamily), getScaledSize(fontSize), strokePadding, atlasCharacters);
+        }
+
+        float textWidth = atlas.measureText(text);
+        float x = strokePadding;
+        if (alignment == Layout.Alignment.ALIGN_CENTER) {
+            x = Math.max(strokePadding, (getWidth() - textWidth) / 2.0f);
+        } else if (alignment == Layout.Alignment.ALIGN_OPPOSITE) {
+            x = Math.max(strokePadding, getWidth() - textWidth - strokePadding);
+        }
+        float y = Math.max(strokePadding, (getHeight() - atlas.getLineHeight()) / 2.0f);
+
+        atlas.draw(canvas, text, x, y - atlas.getAscent(), strokePaint, textPaint);
+    }
+
     private String getModeString(int mode) {
         switch (mode) {
             case MeasureSpec.EXACTLY: return "EXACTLY";
@@ -344,6 +462,10 @@ class StrokeTextView extends View {
         if (text == null) text = "";
         if (!this.text.equals(text)) {
             this.text = text;
+            if (canDrawFromAtlas()) {
+                invalidate();
+                return;
+            }
             layoutDirty = true;
             requestLayout();
             invalidate();
@@ -354,38 +476,27 @@ class StrokeTextView extends View {
         Log.d(TAG, "setFontSize called: " + fontSize);
         if (this.fontSize != fontSize) {
             this.fontSize = fontSize;
+            atlas = null;
             layoutDirty = true;
             requestLayout();
             invalidate();
         }
     }
 
-    public void setTextColor(String color) {
+    public void setTextColor(int color) {
         Log.d(TAG, "setTextColor called: " + color);
-        try {
-            int parsedColor = parseColor(color != null ? color : "#000000");
-            if (this.textColor != parsedColor) {
-                this.textColor = parsedColor;
-                invalidate();
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing text color", e);
-            this.textColor = 0xFF000000;
+        if (this.textColor != color) {
+            this.textColor = color;
+            textPaint.setColor(color);
             invalidate();
         }
     }
 
-    public void setStrokeColor(String color) {
+    public void setStrokeColor(int color) {
         Log.d(TAG, "setStrokeColor called: " + color);
-        try {
-            int parsedColor = parseColor(color != null ? color : "#FFFFFF");
-            if (this.strokeColor != parsedColor) {
-                this.strokeColor = parsedColor;
-                invalidate();
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing stroke color", e);
-            this.strokeColor = 0xFFFFFFFF;
+        if (this.strokeColor != color) {
+            this.strokeColor = color;
+            strokePaint.setColor(color);
             invalidate();
         }
     }
@@ -394,6 +505,7 @@ class StrokeTextView extends View {
         Log.d(TAG, "setStrokeWidth called: " + strokeWidth);
         if (this.strokeWidth != strokeWidth) {
             this.strokeWidth = strokeWidth;
+            atlas = null;
             layoutDirty = true;
             requestLayout();
             invalidate();
@@ -405,6 +517,7 @@ class StrokeTextView extends View {
         if (fontFamily == null) fontFamily = "sans-serif";
         if (!this.fontFamily.equals(fontFamily)) {
             this.fontFamily = fontFamily;
+            atlas = null;
             layoutDirty = true;
             requestLayout();
             invalidate();
@@ -449,50 +562,72 @@ class StrokeTextView extends View {
         }
     }
 
-    public void setCustomWidth(float width) {
-        Log.d(TAG, "setCustomWidth called: " + width);
-        if (this.customWidth != width) {
-            this.customWidth = width;
+    public void setAdjustsFontSizeToFit(boolean adjustsFontSizeToFit) {
+        Log.d(TAG, "setAdjustsFontSizeToFit called: " + adjustsFontSizeToFit);
+        if (this.adjustsFontSizeToFit != adjustsFontSizeToFit) {
+            this.adjustsFontSizeToFit = adjustsFontSizeToFit;
             layoutDirty = true;
             requestLayout();
             invalidate();
         }
     }
 
-    private int parseColor(String color) {
-        if (color == null || color.isEmpty()) {
-            return 0xFF000000;
-        }
-        try {
-            if (color.startsWith("#")) {
-                return Color.parseColor(color);
-            } else if (color.startsWith("rgb")) {
-                return parseRgbColor(color);
-            }
-        } catch (IllegalArgumentException e) {
-            Log.e(TAG, "Error parsing color: " + color, e);
-            return 0xFF000000;
+    public void setMinimumFontScale(float minimumFontScale) {
+        Log.d(TAG, "setMinimumFontScale called: " + minimumFontScale);
+        if (this.minimumFontScale != minimumFontScale) {
+            this.minimumFontScale = minimumFontScale;
+            layoutDirty = true;
+            requestLayout();
+            invalidate();
         }
-        return 0xFF000000;
     }
 
-    private int parseRgbColor(String color) {
-        try {
-            String[] parts = color.replaceAll("[rgba()\\s]", "").split(",");
-            if (parts.length < 3) return 0xFF000000;
+    public void setRenderMode(String renderMode) {
+        Log.d(TAG, "setRenderMode called: " + renderMode);
+        boolean pathRendering = "path".equals(renderMode);
+        boolean atlasRendering = "atlas".equals(renderMode);
+        if (this.pathRendering != pathRendering || this.atlasRendering != atlasRendering) {
+            this.pathRendering = pathRendering;
+            this.atlasRendering = atlasRendering;
+            // Stroking a path or blitting sprites is cheap under hardware acceleration, text is safer in software
+            boolean hardware = pathRendering || atlasRendering;
+            setLayerType(hardware ? View.LAYER_TYPE_NONE : View.LAYER_TYPE_SOFTWARE, null);
+            layoutDirty = true;
+            requestLayout();
+            invalidate();
+        }
+    }
 
-            int r = Integer.parseInt(parts[0].trim());
-            int g = Integer.parseInt(parts[1].trim());
-            int b = Integer.parseInt(parts[2].trim());
-            int a = parts.length > 3 ? (int) (Float.parseFloat(parts[3].trim()) * 255) : 255;
+    public void setAtlasCharacters(String atlasCharacters) {
+        Log.d(TAG, "setAtlasCharacters called: " + atlasCharacters);
+        if (atlasCharacters == null) atlasCharacters = GlyphAtlas.DEFAULT_CHARACTERS;
+        if (!this.atlasCharacters.equals(atlasCharacters)) {
+            this.atlasCharacters = atlasCharacters;
+            atlas = null;
+            layoutDirty = true;
+            requestLayout();
+            invalidate();
+        }
+    }
 
-            return Color.argb(a, r, g, b);
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing RGB color: " + color, e);
-            return 0xFF000000;
+    public void setCustomWidth(float width) {
+        Log.d(TAG, "setCustomWidth called: " + width);
+        if (this.customWidth != width) {
+            this.customWidth = width;
+            layoutDirty = true;
+            requestLayout();
+            invalidate();
         }
     }
 
+    /**
+     * Resolves the font on the calling thread, so layouts built later on another thread only
+     * read the font cache and never reach ReactFontManager.
+     */
+    Typeface preloadFont() {
+        return getFont(fontFamily);
+    }
+
     private Typeface getFont(String fontFamily) {
         if (fontCache.containsKey(fontFamily)) {
             return fontCache.get(fontFamily);
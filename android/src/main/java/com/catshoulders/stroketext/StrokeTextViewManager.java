@@ -41,27 +41,25 @@ public class StrokeTextViewManager extends SimpleViewManager<StrokeTextView> {
             text = "";
         }
         view.setText(text);
-        view.requestLayout();
     }
 
     @ReactProp(name = "fontSize", defaultFloat = 14f)
     public void setFontSize(StrokeTextView view, float fontSize) {
         view.setFontSize(fontSize);
-        view.requestLayout();
     }
 
-    @ReactProp(name = "color")
-    public void setColor(StrokeTextView view, @Nullable String color) {
+    @ReactProp(name = "color", customType = "Color")
+    public void setColor(StrokeTextView view, @Nullable Integer color) {
         if (color == null) {
-            color = "#000000";
+            color = 0xFF000000;
         }
         view.setTextColor(color);
     }
 
-    @ReactProp(name = "strokeColor")
-    public void setStrokeColor(StrokeTextView view, @Nullable String strokeColor) {
+    @ReactProp(name = "strokeColor", customType = "Color")
+    public void setStrokeColor(StrokeTextView view, @Nullable Integer strokeColor) {
         if (strokeColor == null) {
-            strokeColor = "#FFFFFF";
+            strokeColor = 0xFFFFFFFF;
         }
         view.setStrokeColor(strokeColor);
     }
@@ -69,7 +67,6 @@ public class StrokeTextViewManager extends SimpleViewManager<StrokeTextView> {
     @ReactProp(name = "strokeWidth", defaultFloat = 1f)
     public void setStrokeWidth(StrokeTextView view, float strokeWidth) {
         view.setStrokeWidth(strokeWidth);
-        view.requestLayout();
     }
 
     @ReactProp(name = "fontFamily")
@@ -78,7 +75,6 @@ public class StrokeTextViewManager extends SimpleViewManager<StrokeTextView> {
             fontFamily = "sans-serif";
         }
         view.setFontFamily(fontFamily);
-        view.requestLayout();
     }
 
     @ReactProp(name = "align")
@@ -92,19 +88,39 @@ public class StrokeTextViewManager extends SimpleViewManager<StrokeTextView> {
     @ReactProp(name = "numberOfLines", defaultInt = 0)
     public void setNumberOfLines(StrokeTextView view, int numberOfLines) {
         view.setNumberOfLines(numberOfLines);
-        view.requestLayout();
     }
 
     @ReactProp(name = "ellipsis", defaultBoolean = false)
     public void setEllipsis(StrokeTextView view, boolean ellipsis) {
         view.setEllipsis(ellipsis);
-        view.requestLayout();
+    }
+
+    @ReactProp(name = "adjustsFontSizeToFit", defaultBoolean = false)
+    public void setAdjustsFontSizeToFit(StrokeTextView view, boolean adjustsFontSizeToFit) {
+        view.setAdjustsFontSizeToFit(adjustsFontSizeToFit);
+    }
+
+    @ReactProp(name = "minimumFontScale", defaultFloat = 0f)
+    public void setMinimumFontScale(StrokeTextView view, float minimumFontScale) {
+        view.setMinimumFontScale(minimumFontScale);
+    }
+
+    @ReactProp(name = "renderMode")
+    public void setRenderMode(StrokeTextView view, @Nullable String renderMode) {
+        if (renderMode == null) {
+            renderMode = "text";
+        }
+        view.setRenderMode(renderMode);
+    }
+
+    @ReactProp(name = "atlasCharacters")
+    public void setAtlasCharacters(StrokeTextView view, @Nullable String atlasCharacters) {
+        view.setAtlasCharacters(atlasCharacters);
     }
 
     @ReactProp(name = "width", defaultFloat = 0f)
     public void setWidth(StrokeTextView view, float width) {
         view.setCustomWidth(width);
-        view.requestLayout();
     }
 }
 
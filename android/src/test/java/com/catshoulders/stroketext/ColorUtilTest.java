@@ -0,0 +1,55 @@
+package com.catshoulders.stroketext;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class ColorUtilTest {
+
+    @Test
+    public void parsesHexForms() {
+        assertEquals(0xFFFF0000, ColorUtil.parseColor("#F00"));
+        assertEquals(0x88FF0000, ColorUtil.parseColor("#F008"));
+        assertEquals(0xFF00FF00, ColorUtil.parseColor("#00FF00"));
+        assertEquals(0x800000FF, ColorUtil.parseColor("#0000FF80"));
+    }
+
+    @Test
+    public void parsesFunctionForms() {
+        assertEquals(0xFF0A141E, ColorUtil.parseColor("rgb(10, 20, 30)"));
+        assertEquals(0x800A141E, ColorUtil.parseColor("rgba(10,20,30,0.5)"));
+        assertEquals(0xFFFF0000, ColorUtil.parseColor("hsl(0, 100%, 50%)"));
+        assertEquals(0x8000FF00, ColorUtil.parseColor("hsla(120, 100%, 50%, 0.5)"));
+    }
+
+    @Test
+    public void parsesNames() {
+        assertEquals(0xFFFF0000, ColorUtil.parseColor("red"));
+        assertEquals(0x00000000, ColorUtil.parseColor("transparent"));
+    }
+
+    @Test
+    public void ignoresDefaultLocaleCase() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals(0xFFFFFFFF, ColorUtil.parseColor("WHITE"));
+            assertEquals(0x00000000, ColorUtil.parseColor("TRANSPARENT"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void fallsBackToBlack() {
+        assertEquals(0xFF000000, ColorUtil.parseColor("not-a-color"));
+        assertEquals(0xFF000000, ColorUtil.parseColor("rgb(1, 2)"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.catshoulders.stroketext;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Looper;
+import android.view.View;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.uimanager.ThemedReactContext;
+
+import org.robolectric.RuntimeEnvironment;
+
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * StrokeTextView that counts layout requests and layouts built and records the
+ * last text color, plus helpers to run a measure/layout pass and a draw the way
+ * the framework would.
+ */
+class CountingStrokeTextView extends StrokeTextView {
+    int requestLayoutCount;
+    int createLayoutCount;
+    int lastTextColor;
+
+    CountingStrokeTextView(ThemedReactContext context) {
+        super(context);
+    }
+
+    static CountingStrokeTextView create() {
+        Context context = RuntimeEnvironment.getApplication();
+        CountingStrokeTextView view = new CountingStrokeTextView(
+            new ThemedReactContext(new ReactApplicationContext(context), context)
+        );
+        view.setText("Score");
+        view.layoutPass(200, 60);
+        view.resetCounts();
+        return view;
+    }
+
+    @Override
+    public void requestLayout() {
+        requestLayoutCount++;
+        super.requestLayout();
+    }
+
+    @Override
+    public void setTextColor(int color) {
+        lastTextColor = color;
+        super.setTextColor(color);
+    }
+
+    @Override
+    void createLayout(int width) {
+        createLayoutCount++;
+        super.createLayout(width);
+    }
+
+    void layoutPass(int width, int height) {
+        measure(
+            View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY)
+        );
+        layout(0, 0, width, height);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    void drawPass() {
+        draw(new Canvas(Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888)));
+    }
+
+    void resetCounts() {
+        requestLayoutCount = 0;
+        createLayoutCount = 0;
+    }
+}
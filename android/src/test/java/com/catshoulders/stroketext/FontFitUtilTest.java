@@ -0,0 +1,108 @@
+package com.catshoulders.stroketext;
+
+import android.graphics.Typeface;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs with native graphics so StaticLayout measures real glyph widths.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class FontFitUtilTest {
+
+    private static final String TEXT = "A very long player name";
+    private static final float STROKE = 2;
+
+    private TextPaint paint;
+
+    @Before
+    public void setUp() {
+        FontFitUtil.clearCache();
+        paint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+        paint.setTypeface(Typeface.DEFAULT);
+        paint.setTextSize(14);
+    }
+
+    @Test
+    public void chosenSizeFitsAndNextStepDoesNot() {
+        float size = FontFitUtil.fitFontSize(paint, TEXT, 100, 10, STROKE, 300, 0, 0);
+
+        assertTrue(size < 100);
+        assertEquals(1, layout(size, 300).getLineCount());
+        assertTrue(layout(size + FontFitUtil.PRECISION, 300).getLineCount() > 1);
+    }
+
+    @Test
+    public void keepsFullSizeWhenTextFits() {
+        assertEquals(40, FontFitUtil.fitFontSize(paint, "1", 40, 10, STROKE, 300, 0, 0), 0);
+    }
+
+    @Test
+    public void neverShrinksBelowMinimum() {
+        assertEquals(30, FontFitUtil.fitFontSize(paint, TEXT, 100, 30, STROKE, 40, 0, 0), 0);
+    }
+
+    @Test
+    public void numberOfLinesAllowsWrapping() {
+        float oneLine = FontFitUtil.fitFontSize(paint, TEXT, 100, 10, STROKE, 300, 0, 1);
+        float twoLines = FontFitUtil.fitFontSize(paint, TEXT, 100, 10, STROKE, 300, 0, 2);
+
+        assertTrue(twoLines > oneLine);
+        assertTrue(layout(twoLines, 300).getLineCount() <= 2);
+        assertTrue(layout(twoLines + FontFitUtil.PRECISION, 300).getLineCount() > 2);
+    }
+
+    @Test
+    public void heightBoundsWrappedText() {
+        float size = FontFitUtil.fitFontSize(paint, TEXT, 100, 10, STROKE, 300, 80, 0);
+
+        assertTrue(size < 100);
+        assertTrue(layout(size, 300).getHeight() <= 80 - STROKE * 2);
+        assertTrue(layout(size + FontFitUtil.PRECISION, 300).getHeight() > 80 - STROKE * 2);
+    }
+
+    @Test
+    public void cachedResultBuildsNoLayouts() {
+        float first = FontFitUtil.fitFontSize(paint, TEXT, 100, 10, STROKE, 300, 0, 0);
+        int layouts = FontFitUtil.fitLayoutCount.get();
+        float second = FontFitUtil.fitFontSize(paint, TEXT, 100, 10, STROKE, 300, 0, 0);
+
+        assertEquals(first, second, 0);
+        assertEquals(layouts, FontFitUtil.fitLayoutCount.get());
+    }
+
+    @Test
+    public void restoresPaintSize() {
+        FontFitUtil.fitFontSize(paint, TEXT, 100, 10, STROKE, 300, 0, 0);
+
+        assertEquals(14, paint.getTextSize(), 0);
+    }
+
+    // Same layout the search builds, inside the stroke padding
+    private StaticLayout layout(float size, int width) {
+        TextPaint layoutPaint = new TextPaint(paint);
+        layoutPaint.setTextSize(size);
+        return new StaticLayout(
+            TEXT,
+            layoutPaint,
+            (int) (width - STROKE * 2),
+            Layout.Alignment.ALIGN_NORMAL,
+            1.0f,
+            0.0f,
+            false
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package com.catshoulders.stroketext;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowBuild;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class MeasureCacheTest {
+
+    private static final long KEY = 0x1234567890ABCDEFL;
+    private static final long SIZE = 0x0000012C00000064L;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        ShadowBuild.setFingerprint("stroke-text/test/1");
+    }
+
+    @Test
+    public void writtenEntriesSurviveReload() {
+        MeasureCache cache = new MeasureCache(context);
+        cache.put(KEY, SIZE);
+        cache.put(KEY + 1, SIZE + 1);
+        cache.write();
+
+        MeasureCache reloaded = new MeasureCache(context);
+        reloaded.load();
+
+        assertEquals(Long.valueOf(SIZE), reloaded.get(KEY));
+        assertEquals(Long.valueOf(SIZE + 1), reloaded.get(KEY + 1));
+    }
+
+    @Test
+    public void systemUpdateDropsEntries() {
+        MeasureCache cache = new MeasureCache(context);
+        cache.put(KEY, SIZE);
+        cache.write();
+
+        ShadowBuild.setFingerprint("stroke-text/test/2");
+        MeasureCache reloaded = new MeasureCache(context);
+        reloaded.load();
+
+        assertNull(reloaded.get(KEY));
+    }
+
+    @Test
+    public void fontScaleChangeDropsEntries() {
+        MeasureCache cache = new MeasureCache(context);
+        cache.put(KEY, SIZE);
+        cache.write();
+
+        RuntimeEnvironment.setFontScale(1.3f);
+        MeasureCache reloaded = new MeasureCache(context);
+        reloaded.load();
+
+        assertNull(reloaded.get(KEY));
+    }
+
+    @Test
+    public void freshResultsWinOverTheFile() {
+        MeasureCache cache = new MeasureCache(context);
+        cache.put(KEY, SIZE);
+        cache.write();
+
+        MeasureCache reloaded = new MeasureCache(context);
+        reloaded.put(KEY, SIZE + 1);
+        reloaded.load();
+
+        assertEquals(Long.valueOf(SIZE + 1), reloaded.get(KEY));
+    }
+}
@@ -0,0 +1,208 @@
+package com.catshoulders.stroketext;
+
+import android.content.Context;
+import android.util.Base64;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.yoga.YogaMeasureMode;
+import com.facebook.yoga.YogaMeasureOutput;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class StrokeTextModuleTest {
+
+    // Arguments needs the native bridge, so results are built from JavaOnly collections
+    private static class JavaOnlyModule extends StrokeTextModule {
+        JavaOnlyModule(ReactApplicationContext context) {
+            super(context);
+        }
+
+        @Override
+        WritableArray createArray() {
+            return new JavaOnlyArray();
+        }
+
+        @Override
+        WritableMap createMap() {
+            return new JavaOnlyMap();
+        }
+    }
+
+    // PromiseImpl builds its rejection with the native bridge, so record calls directly
+    private static class Result implements Promise {
+        final CountDownLatch done = new CountDownLatch(1);
+        Object value;
+        Object error;
+
+        Object await() throws InterruptedException {
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertNull(error);
+            return value;
+        }
+
+        @Override
+        public void resolve(Object value) {
+            this.value = value;
+            done.countDown();
+        }
+
+        private void fail(Object error) {
+            this.error = error != null ? error : "rejected";
+            done.countDown();
+        }
+
+        @Override
+        public void reject(String code, String message) {
+            fail(message);
+        }
+
+        @Override
+        public void reject(String code, Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void reject(String code, String message, Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void reject(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void reject(Throwable throwable, WritableMap userInfo) {
+            fail(throwable);
+        }
+
+        @Override
+        public void reject(String code, WritableMap userInfo) {
+            fail(code);
+        }
+
+        @Override
+        public void reject(String code, Throwable throwable, WritableMap userInfo) {
+            fail(throwable);
+        }
+
+        @Override
+        public void reject(String code, String message, WritableMap userInfo) {
+            fail(message);
+        }
+
+        @Override
+        public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+            fail(throwable);
+        }
+
+        @Override
+        @Deprecated
+        public void reject(String message) {
+            fail(message);
+        }
+    }
+
+    private Context context;
+    private StrokeTextModule module;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(context);
+        module = new JavaOnlyModule(new ReactApplicationContext(context));
+    }
+
+    @Test
+    public void measureTextsMatchesShadowNodeMeasure() throws InterruptedException {
+        String[] texts = {"Score", "1,250", "Game\nOver"};
+        ReadableMap style = JavaOnlyMap.of("fontSize", 30.0, "strokeWidth", 2.0, "numberOfLines", 2);
+
+        Result result = new Result();
+        module.measureTexts(JavaOnlyArray.of((Object[]) texts), style, result);
+        ReadableArray sizes = (ReadableArray) result.await();
+
+        assertEquals(texts.length, sizes.size());
+        for (int i = 0; i < texts.length; i++) {
+            StrokeTextMeasurer measurer = new StrokeTextMeasurer();
+            measurer.setFontSize(30);
+            measurer.setStrokeWidth(2);
+            measurer.setNumberOfLines(2);
+            measurer.setText(texts[i]);
+            long size = measurer.measure(
+                context,
+                Float.NaN,
+                YogaMeasureMode.UNDEFINED,
+                Float.NaN,
+                YogaMeasureMode.UNDEFINED
+            );
+
+            ReadableMap measured = sizes.getMap(i);
+            assertEquals(PixelUtil.toDIPFromPixel(YogaMeasureOutput.getWidth(size)), measured.getDouble("width"), 0.001);
+            assertEquals(PixelUtil.toDIPFromPixel(YogaMeasureOutput.getHeight(size)), measured.getDouble("height"), 0.001);
+        }
+    }
+
+    @Test
+    public void measureTextsRejectsNonStrings() throws InterruptedException {
+        Result result = new Result();
+        module.measureTexts(JavaOnlyArray.of("Score", 12.0), new JavaOnlyMap(), result);
+
+        assertTrue(result.done.await(10, TimeUnit.SECONDS));
+        assertNotNull(result.error);
+    }
+
+    @Test
+    @GraphicsMode(GraphicsMode.Mode.NATIVE)
+    public void renderTextIsSizedForItsFontSize() throws InterruptedException {
+        Result result = new Result();
+        module.renderText(
+            "Victory!",
+            JavaOnlyMap.of("fontSize", 50.0, "strokeWidth", 3.0),
+            JavaOnlyMap.of("format", "base64"),
+            result
+        );
+        ByteBuffer png = ByteBuffer.wrap(Base64.decode((String) result.await(), Base64.DEFAULT));
+
+        StrokeTextMeasurer measurer = new StrokeTextMeasurer();
+        measurer.setText("Victory!");
+        measurer.setFontSize(50);
+        measurer.setStrokeWidth(3);
+        long size = measurer.measure(context, Float.NaN, YogaMeasureMode.UNDEFINED, Float.NaN, YogaMeasureMode.UNDEFINED);
+        measurer.setFontSize(14);
+        long smallSize = measurer.measure(context, Float.NaN, YogaMeasureMode.UNDEFINED, Float.NaN, YogaMeasureMode.UNDEFINED);
+
+        // Width and height sit in the IHDR chunk right after the PNG signature
+        int width = png.getInt(16);
+        int height = png.getInt(20);
+        assertEquals((int) Math.ceil(YogaMeasureOutput.getWidth(size)), width);
+        assertEquals((int) Math.ceil(YogaMeasureOutput.getHeight(size)), height);
+        assertTrue(width > YogaMeasureOutput.getWidth(smallSize) * 2);
+    }
+}
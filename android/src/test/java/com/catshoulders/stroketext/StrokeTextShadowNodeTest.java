@@ -0,0 +1,103 @@
+package com.catshoulders.stroketext;
+
+import android.content.Context;
+import android.text.StaticLayout;
+
+import com.facebook.yoga.YogaMeasureMode;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Yoga needs its native library, so these drive the StrokeTextMeasurer that
+ * StrokeTextShadowNode.measure delegates to, one call per Yoga measure.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class StrokeTextShadowNodeTest {
+
+    private static class CountingMeasurer extends StrokeTextMeasurer {
+        int createLayoutCount;
+
+        @Override
+        StaticLayout createLayout(int width) {
+            createLayoutCount++;
+            return super.createLayout(width);
+        }
+    }
+
+    private Context context;
+    private CountingMeasurer measurer;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        FontFitUtil.clearCache();
+        measurer = new CountingMeasurer();
+        measurer.setText("Score");
+    }
+
+    @Test
+    public void measureBuildsOneLayoutPerCall() {
+        measurer.measure(context, 200, YogaMeasureMode.EXACTLY, Float.NaN, YogaMeasureMode.UNDEFINED);
+        assertEquals(1, measurer.createLayoutCount);
+
+        measurer.measure(context, 200, YogaMeasureMode.AT_MOST, 60, YogaMeasureMode.AT_MOST);
+        assertEquals(2, measurer.createLayoutCount);
+    }
+
+    @Test
+    public void emptyTextBuildsNoLayout() {
+        measurer.setText("");
+        measurer.measure(context, Float.NaN, YogaMeasureMode.UNDEFINED, Float.NaN, YogaMeasureMode.UNDEFINED);
+
+        assertEquals(0, measurer.createLayoutCount);
+    }
+
+    @Test
+    public void atlasTextMeasureBuildsNoLayout() {
+        measurer.setRenderMode("atlas");
+        measurer.setText("1,250");
+        measurer.measure(context, Float.NaN, YogaMeasureMode.UNDEFINED, Float.NaN, YogaMeasureMode.UNDEFINED);
+        measurer.setText("1,300");
+        measurer.measure(context, Float.NaN, YogaMeasureMode.UNDEFINED, Float.NaN, YogaMeasureMode.UNDEFINED);
+
+        assertEquals(0, measurer.createLayoutCount);
+    }
+
+    @Test
+    public void atlasModeMeasuresOtherTextWithLayout() {
+        measurer.setRenderMode("atlas");
+        measurer.setText("Game Over");
+        measurer.measure(context, Float.NaN, YogaMeasureMode.UNDEFINED, Float.NaN, YogaMeasureMode.UNDEFINED);
+        measurer.setText("1,250");
+        measurer.setNumberOfLines(1);
+        measurer.measure(context, Float.NaN, YogaMeasureMode.UNDEFINED, Float.NaN, YogaMeasureMode.UNDEFINED);
+
+        assertEquals(2, measurer.createLayoutCount);
+    }
+
+    @Test
+    public void repeatedFittedMeasureReusesFit() {
+        measurer.setText("A very long player name");
+        measurer.setAdjustsFontSizeToFit(true);
+        measurer.setMinimumFontScale(0.5f);
+
+        int fitLayouts = FontFitUtil.fitLayoutCount.get();
+        measurer.measure(context, 80, YogaMeasureMode.EXACTLY, Float.NaN, YogaMeasureMode.UNDEFINED);
+        assertTrue(FontFitUtil.fitLayoutCount.get() > fitLayouts);
+        assertEquals(1, measurer.createLayoutCount);
+
+        fitLayouts = FontFitUtil.fitLayoutCount.get();
+        measurer.measure(context, 80, YogaMeasureMode.EXACTLY, Float.NaN, YogaMeasureMode.UNDEFINED);
+        assertEquals(fitLayouts, FontFitUtil.fitLayoutCount.get());
+        assertEquals(2, measurer.createLayoutCount);
+    }
+}
@@ -0,0 +1,77 @@
+package com.catshoulders.stroketext;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.uimanager.ReactStylesDiffMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class StrokeTextViewManagerTest {
+
+    private StrokeTextViewManager manager;
+    private CountingStrokeTextView view;
+
+    @Before
+    public void setUp() {
+        manager = new StrokeTextViewManager();
+        view = CountingStrokeTextView.create();
+    }
+
+    @Test
+    public void textChangeRequestsOneLayout() {
+        manager.setText(view, "Game Over");
+
+        assertEquals(1, view.requestLayoutCount);
+        assertEquals(0, view.createLayoutCount);
+    }
+
+    @Test
+    public void sameTextRequestsNoLayout() {
+        manager.setText(view, "Score");
+
+        assertEquals(0, view.requestLayoutCount);
+    }
+
+    @Test
+    public void layoutPropsRequestOneLayoutEach() {
+        manager.setFontSize(view, 20f);
+        manager.setStrokeWidth(view, 3f);
+        manager.setFontFamily(view, "monospace");
+        manager.setNumberOfLines(view, 1);
+        manager.setEllipsis(view, true);
+        manager.setWidth(view, 120f);
+
+        assertEquals(6, view.requestLayoutCount);
+    }
+
+    @Test
+    public void colorChangeRequestsNoLayout() {
+        manager.setColor(view, 0xFFFF0000);
+        manager.setStrokeColor(view, 0x80000000);
+
+        assertEquals(0, view.requestLayoutCount);
+        assertEquals(0, view.createLayoutCount);
+    }
+
+    @Test
+    public void processedColorReachesViewUnchanged() {
+        // processColor("red") arrives over the bridge as a signed 32-bit number
+        manager.updateProperties(view, new ReactStylesDiffMap(JavaOnlyMap.of("color", (double) 0xFFFF0000)));
+
+        assertEquals(0xFFFF0000, view.lastTextColor);
+    }
+
+    @Test
+    public void alignChangeRequestsNoLayout() {
+        manager.setTextAlignment(view, "right");
+
+        assertEquals(0, view.requestLayoutCount);
+    }
+}
@@ -0,0 +1,179 @@
+package com.catshoulders.stroketext;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class StrokeTextViewTest {
+
+    private CountingStrokeTextView view;
+
+    @Before
+    public void setUp() {
+        view = CountingStrokeTextView.create();
+    }
+
+    @Test
+    public void textChangeBuildsOneLayoutPerPass() {
+        view.setText("Game Over");
+        view.layoutPass(200, 60);
+        view.drawPass();
+
+        assertEquals(1, view.requestLayoutCount);
+        assertEquals(1, view.createLayoutCount);
+    }
+
+    @Test
+    public void forcedPassWithoutChangesBuildsNoLayout() {
+        view.forceLayout();
+        view.layoutPass(200, 60);
+        view.drawPass();
+
+        assertEquals(0, view.createLayoutCount);
+    }
+
+    @Test
+    public void widthChangeBuildsOneLayout() {
+        view.layoutPass(300, 60);
+        view.drawPass();
+
+        assertEquals(1, view.createLayoutCount);
+    }
+
+    @Test
+    public void colorChangeBuildsNoLayout() {
+        view.setTextColor(0xFFFF0000);
+        view.setStrokeColor(0xFF00FF00);
+        view.drawPass();
+
+        assertEquals(0, view.requestLayoutCount);
+        assertEquals(0, view.createLayoutCount);
+    }
+
+    @Test
+    public void alignmentChangeRebuildsOnDrawOnly() {
+        view.setTextAlignment("left");
+        view.drawPass();
+
+        assertEquals(0, view.requestLayoutCount);
+        assertEquals(1, view.createLayoutCount);
+    }
+
+    @Test
+    public void pathModeBuildsOneLayoutAndRedrawsFromCache() {
+        view.setRenderMode("path");
+        view.layoutPass(200, 60);
+        view.drawPass();
+        view.drawPass();
+
+        assertEquals(1, view.createLayoutCount);
+    }
+
+    @Test
+    public void atlasModeTextChangeBuildsNoLayout() {
+        view.setRenderMode("atlas");
+        view.setText("100");
+        view.layoutPass(200, 60);
+        view.resetCounts();
+
+        view.setText("1,250");
+        view.layoutPass(240, 60);
+        view.drawPass();
+
+        assertEquals(0, view.requestLayoutCount);
+        assertEquals(0, view.createLayoutCount);
+    }
+
+    @Test
+    public void atlasModeFallsBackToLayoutForOtherCharacters() {
+        view.setRenderMode("atlas");
+        view.layoutPass(200, 60);
+        view.resetCounts();
+
+        view.setText("Game Over");
+        view.layoutPass(200, 60);
+        view.drawPass();
+
+        assertEquals(1, view.requestLayoutCount);
+        assertEquals(1, view.createLayoutCount);
+    }
+
+    @Test
+    public void atlasModeFallsBackToLayoutForTruncatedText() {
+        view.setRenderMode("atlas");
+        view.setNumberOfLines(1);
+        view.setEllipsis(true);
+        view.layoutPass(200, 60);
+        view.resetCounts();
+
+        view.setText("1,250");
+        view.layoutPass(200, 60);
+        view.drawPass();
+
+        assertEquals(1, view.requestLayoutCount);
+        assertEquals(1, view.createLayoutCount);
+    }
+
+    @Test
+    public void scheduledRebuildWaitsForNextFrame() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(view, new ViewGroup.LayoutParams(200, 60));
+        shadowOf(Looper.getMainLooper()).idle();
+
+        LayoutScheduler.setFrameBudget(4);
+        try {
+            view.resetCounts();
+            view.setText("Game Over");
+            view.measure(
+                View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(60, View.MeasureSpec.EXACTLY)
+            );
+            assertEquals(0, view.createLayoutCount);
+
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+            assertEquals(1, view.createLayoutCount);
+        } finally {
+            LayoutScheduler.setFrameBudget(0);
+        }
+    }
+
+    @Test
+    public void disablingSchedulerFlushesOffscreenViews() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(view, new ViewGroup.LayoutParams(200, 60));
+        shadowOf(Looper.getMainLooper()).idle();
+        view.setVisibility(View.INVISIBLE);
+
+        LayoutScheduler.setFrameBudget(4);
+        try {
+            view.resetCounts();
+            view.setText("Game Over");
+            view.measure(
+                View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(60, View.MeasureSpec.EXACTLY)
+            );
+            assertEquals(0, view.createLayoutCount);
+
+            LayoutScheduler.setFrameBudget(0);
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+            assertEquals(1, view.createLayoutCount);
+        } finally {
+            LayoutScheduler.setFrameBudget(0);
+        }
+    }
+}
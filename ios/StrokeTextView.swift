@@ -11,8 +11,8 @@ class StrokeTextView: RCTView {
         label = StrokedTextLabel()
         self.bridge = bridge
         super.init(frame: .zero)
-        label.textColor = colorStringToUIColor(colorString: color)
-        label.outlineColor = colorStringToUIColor(colorString: strokeColor)
+        label.textColor = color
+        label.outlineColor = strokeColor
         label.translatesAutoresizingMaskIntoConstraints = false
         self.addSubview(label)
         NSLayoutConstraint.activate([
@@ -57,19 +57,19 @@ class StrokeTextView: RCTView {
         }
     }
 
-    @objc var color: String = "#000000" {
+    @objc var color: UIColor = .black {
         didSet {
             if color != oldValue {
-                label.textColor = colorStringToUIColor(colorString: color)
+                label.textColor = color
                 label.setNeedsDisplay()
             }
         }
     }
 
-    @objc var strokeColor: String = "#FFFFFF" {
+    @objc var strokeColor: UIColor = .white {
         didSet {
             if strokeColor != oldValue {
-                label.outlineColor = colorStringToUIColor(colorString: strokeColor)
+                label.outlineColor = strokeColor
                 label.setNeedsDisplay()
             }
         }
@@ -141,36 +141,4 @@ class StrokeTextView: RCTView {
             }
         }
     }
-
-    private func colorStringToUIColor(colorString: String) -> UIColor {
-        var string = colorString.trimmingCharacters(in: .whitespacesAndNewlines).uppercased()
-
-        if string.hasPrefix("#") {
-            if string.count == 4 {
-                string = "#" + string.dropFirst().map { "\($0)\($0)" }.joined()
-            }
-            if string.count == 7 {
-                var rgbValue: UInt64 = 0
-                Scanner(string: String(string.dropFirst())).scanHexInt64(&rgbValue)
-                return UIColor(
-                        red: CGFloat((rgbValue & 0xFF0000) >> 16) / 255.0,
-                        green: CGFloat((rgbValue & 0x00FF00) >> 8) / 255.0,
-                        blue: CGFloat(rgbValue & 0x0000FF) / 255.0,
-                        alpha: 1.0
-                )
-            }
-        } else if string.hasPrefix("RGBA") {
-            let components = string.dropFirst(5).dropLast(1).split(separator: ",").map { CGFloat(Double($0.trimmingCharacters(in: .whitespaces)) ?? 0) }
-            if components.count == 4 {
-                return UIColor(red: components[0] / 255.0, green: components[1] / 255.0, blue: components[2] / 255.0, alpha: components[3])
-            }
-        } else if string.hasPrefix("RGB") {
-            let components = string.dropFirst(4).dropLast(1).split(separator: ",").map { CGFloat(Double($0.trimmingCharacters(in: .whitespaces)) ?? 0) }
-            if components.count == 3 {
-                return UIColor(red: components[0] / 255.0, green: components[1] / 255.0, blue: components[2] / 255.0, alpha: 1.0)
-            }
-        }
-
-        return UIColor.gray
-    }
 }
@@ -1,26 +1,90 @@
 import React from "react";
-import { requireNativeComponent, StyleProp, ViewStyle } from "react-native";
+import {
+  ColorValue,
+  NativeModules,
+  processColor,
+  requireNativeComponent,
+  StyleProp,
+  ViewStyle,
+} from "react-native";
 
 const ComponentName = "StrokeTextView";
 
 type TextAlign = "center" | "left" | "right"
 
+type RenderMode = "text" | "path" | "atlas"
+
 export interface StrokeTextProps {
   width?: number;
   text: string;
   fontSize?: number;
-  color?: string;
-  strokeColor?: string;
+  color?: ColorValue;
+  strokeColor?: ColorValue;
   strokeWidth?: number;
   fontFamily?: string;
   align?: TextAlign;
   numberOfLines?: number;
   ellipsis?: boolean;
+  adjustsFontSizeToFit?: boolean;
+  minimumFontScale?: number;
+  renderMode?: RenderMode;
+  atlasCharacters?: string;
   style?: StyleProp<ViewStyle>;
 }
 
+// color and strokeColor go through processColor in the native view config
 const NativeStrokeText = requireNativeComponent<StrokeTextProps>(ComponentName);
 
 export const StrokeText = (props: StrokeTextProps) => {
   return <NativeStrokeText {...props} style={props.style} />;
 };
+
+export interface MeasureTextStyle {
+  fontSize?: number;
+  strokeWidth?: number;
+  fontFamily?: string;
+  numberOfLines?: number;
+  width?: number;
+  maxWidth?: number;
+  adjustsFontSizeToFit?: boolean;
+  minimumFontScale?: number;
+}
+
+export interface TextSize {
+  width: number;
+  height: number;
+}
+
+export const measureTexts = (texts: string[], style: MeasureTextStyle = {}): Promise<TextSize[]> => {
+  const { StrokeTextModule } = NativeModules;
+  if (!StrokeTextModule) {
+    return Promise.reject(new Error("measureTexts is not supported on this platform"));
+  }
+  return StrokeTextModule.measureTexts(texts, style);
+};
+
+export type RenderTextStyle = Omit<StrokeTextProps, "text" | "style" | "renderMode" | "atlasCharacters">;
+
+export interface RenderTextOptions {
+  format?: "file" | "base64";
+}
+
+export const renderText = (
+  text: string,
+  style: RenderTextStyle = {},
+  options: RenderTextOptions = {},
+): Promise<string> => {
+  const { StrokeTextModule } = NativeModules;
+  if (!StrokeTextModule) {
+    return Promise.reject(new Error("renderText is not supported on this platform"));
+  }
+  return StrokeTextModule.renderText(
+    text,
+    { ...style, color: processColor(style.color), strokeColor: processColor(style.strokeColor) },
+    options,
+  );
+};
+
+export const setLayoutFrameBudget = (budgetMs: number) => {
+  NativeModules.StrokeTextModule?.setLayoutFrameBudget(budgetMs);
+};